@@ -8,6 +8,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -29,7 +30,7 @@ public final class Identifier {
         this.properties = builder.getParamsMap();
     }
 
-    private Identifier(String realm, String path, Map<String, Object> properties) {
+    Identifier(String realm, String path, Map<String, Object> properties) {
         this.domain = realm;
         this.path = path;
         this.properties = properties;
@@ -172,6 +173,29 @@ public final class Identifier {
         return toBase32();
     }
 
+    /**
+     * Returns the string value representation (z-Base32) of this identifier, compressed by replacing well-known realms,
+     * sectors and property keys with the short codes of the given dictionary. The value can be parsed by
+     * {@link #fromValue(String)}, once the dictionary is {@link IdentifierDictionary#register() registered}. If this
+     * identifier does not fit the compressed layout, the plain value is returned.
+     *
+     * @param dictionary
+     *            to compress with.
+     *
+     * @return The compressed string value representation of this identifier.
+     */
+    public String toCompressedValue(IdentifierDictionary dictionary) {
+        return dictionary.compress(this);
+    }
+
+    /**
+     * {@return The string value representation (z-Base32) of this identifier, with a checksum suffix that allows
+     * corrupted values to be rejected before decoding.}
+     */
+    public String toCheckedValue() {
+        return ZBase32.encodeWithChecksum(toURI().toString());
+    }
+
     /**
      * {@return The JSON representation of this identifier.}
      */
@@ -244,7 +268,75 @@ public final class Identifier {
      * @return an identifier with the specified value.
      */
     public static Identifier fromValue(String value) {
-        return Identifier.fromURI(URI.create(ZBase32.decode(value)));
+
+        String decoded = ZBase32.decode(value);
+
+        if (!decoded.isEmpty() && decoded.charAt(0) == IdentifierDictionary.MARKER) {
+            return IdentifierDictionary.decompress(decoded);
+        }
+
+        return Identifier.fromURI(URI.create(decoded));
+    }
+
+    /**
+     * Creates an identifier from the string value representation, with a checksum suffix, as described in the
+     * {@link #toCheckedValue()} method. The checksum is verified before the value is decoded.
+     *
+     * @param value
+     *            string that specifies an identifier.
+     *
+     * @return an identifier with the specified value.
+     *
+     * @throws IllegalStateException
+     *             if the checksum does not match the value.
+     */
+    public static Identifier fromCheckedValue(String value) {
+        return Identifier.fromURI(URI.create(ZBase32.decodeWithChecksum(value)));
+    }
+
+    /**
+     * Checks whether the given value is a well-formed identifier value, as produced by {@link #toValue()}, which can be
+     * parsed by {@link #fromValue(String)}. The alphabet, length and structure of the value are validated without
+     * allocating or throwing, making this suitable for rejecting untrusted input cheaply.
+     *
+     * @param value
+     *            to validate, may be {@code null}.
+     *
+     * @return {@code true} if the value specifies an identifier, otherwise {@code false}.
+     */
+    public static boolean isValid(CharSequence value) {
+        return ValueValidator.isValid(value);
+    }
+
+    /**
+     * Checks, as in {@link #isValid(CharSequence)}, whether the given value is a well-formed identifier value with a
+     * checksum suffix, as produced by {@link #toCheckedValue()}. The checksum is verified first, in a single pass.
+     *
+     * @param value
+     *            to validate, may be {@code null}.
+     *
+     * @return {@code true} if the value specifies an identifier and the checksum matches, otherwise {@code false}.
+     */
+    public static boolean isValidChecked(CharSequence value) {
+        return ValueValidator.isValidChecked(value);
+    }
+
+    /**
+     * Attempts to create an identifier from the given value, as in {@link #fromValue(String)}, but returns an empty
+     * result rather than throwing, if the value is not {@link #isValid(CharSequence) valid}.
+     *
+     * @param value
+     *            that may specify an identifier, may be {@code null}.
+     *
+     * @return an identifier with the specified value, or empty if the value is invalid.
+     */
+    public static Optional<Identifier> tryParse(CharSequence value) {
+
+        if (!isValid(value)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(fromValue(value.toString()));
     }
 
     private static Identifier fromURI(URI uri) {
@@ -268,22 +360,23 @@ public final class Identifier {
 
             String[] parts = pair.split(Pattern.quote("="));
 
-            String key = parts[0];
+            map.put(parts[0], parseValue(parts[1]));
+        }
+
+        return map;
+    }
 
+    static Object parseValue(String value) {
+        try {
+            long longValue = Long.parseLong(value);
             try {
-                long longValue = Long.parseLong(parts[1]);
-                try {
-                    int intValue = Math.toIntExact(longValue);
-                    map.put(key, Integer.valueOf(intValue));
-                } catch (ArithmeticException ex) {
-                    map.put(key, Long.valueOf(longValue));
-                }
-            } catch (NumberFormatException ex) {
-                map.put(key, parts[1]);
+                return Integer.valueOf(Math.toIntExact(longValue));
+            } catch (ArithmeticException ex) {
+                return Long.valueOf(longValue);
             }
+        } catch (NumberFormatException ex) {
+            return value;
         }
-
-        return map;
     }
 
     /**
@@ -300,4 +393,12 @@ public final class Identifier {
         return List.of(this.path.split(Pattern.quote("/")));
     }
 
+    String path() {
+        return this.path;
+    }
+
+    Map<String, Object> properties() {
+        return this.properties;
+    }
+
 }
@@ -94,6 +94,33 @@ public final class IdentifierBuilder {
         return new Identifier(this);
     }
 
+    /**
+     * Creates a minter of sequential identifiers, using this builder as the template, with a sequence property starting
+     * at zero.
+     *
+     * @param key
+     *            of the sequence property, appended after the properties of this builder.
+     *
+     * @return a new minter.
+     */
+    public IdentifierMinter minter(String key) {
+        return minter(key, 0);
+    }
+
+    /**
+     * Creates a minter of sequential identifiers, using this builder as the template.
+     *
+     * @param key
+     *            of the sequence property, appended after the properties of this builder.
+     * @param start
+     *            the first, non-negative, sequence number.
+     *
+     * @return a new minter.
+     */
+    public IdentifierMinter minter(String key, long start) {
+        return new IdentifierMinter(this, key, start);
+    }
+
     Map<String, Object> getParamsMap() {
 
         Map<String, Object> map = new LinkedHashMap<>(properties.size());
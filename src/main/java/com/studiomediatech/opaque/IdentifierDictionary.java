@@ -0,0 +1,395 @@
+package com.studiomediatech.opaque;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.studiomediatech.utils.ZBase32;
+
+/**
+ * A versioned, static, dictionary of well-known realms, sectors and property keys, used to compress the string value
+ * representation of {@link Identifier identifiers} by replacing them with single byte codes.
+ *
+ * <p>
+ * The version is embedded in every compressed value, so a dictionary must be {@link #register() registered} for
+ * {@link Identifier#fromValue(String)} to resolve it. Once published, a version must never change, or any values
+ * compressed with it can no longer be read - train a new version instead.
+ * </p>
+ *
+ * <p>
+ * Compressed values are laid out as the bytes below, before being z-base32 encoded. Codes are one-based entries in the
+ * dictionary, where {@code 0} signals a literal, as a length byte followed by UTF-8 bytes.
+ * </p>
+ *
+ * <pre>
+ * '~' version realm-code [literal] sector-code [literal] count (key-code [literal] literal)*
+ * </pre>
+ */
+public final class IdentifierDictionary {
+
+    static final int MARKER = '~';
+
+    private static final int MAX_ENTRIES = 255;
+    private static final int MAX_VERSION = 255;
+    private static final int MAX_LITERAL = 255;
+
+    private static final AtomicReferenceArray<IdentifierDictionary> REGISTRY = new AtomicReferenceArray<>(
+            MAX_VERSION + 1);
+
+    private final int version;
+    private final List<String> realms;
+    private final List<String> sectors;
+    private final List<String> keys;
+
+    private final Map<String, Integer> realmCodes;
+    private final Map<String, Integer> sectorCodes;
+    private final Map<String, Integer> keyCodes;
+
+    private IdentifierDictionary(int version, List<String> realms, List<String> sectors, List<String> keys) {
+
+        if (version < 0 || version > MAX_VERSION) {
+            throw new IllegalArgumentException("Version must be within 0-%d, was %d".formatted(MAX_VERSION, version));
+        }
+
+        if (realms.size() > MAX_ENTRIES || sectors.size() > MAX_ENTRIES || keys.size() > MAX_ENTRIES) {
+            throw new IllegalArgumentException(
+                    "At most %d entries are allowed for each of realms, sectors and keys".formatted(MAX_ENTRIES));
+        }
+
+        this.version = version;
+        this.realms = realms;
+        this.sectors = sectors;
+        this.keys = keys;
+
+        this.realmCodes = codes(realms);
+        this.sectorCodes = codes(sectors);
+        this.keyCodes = codes(keys);
+    }
+
+    private static Map<String, Integer> codes(List<String> entries) {
+
+        Map<String, Integer> codes = new HashMap<>(entries.size() * 2);
+
+        // The first entry wins, if any are repeated.
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            codes.put(entries.get(i), i + 1);
+        }
+
+        return Map.copyOf(codes);
+    }
+
+    /**
+     * Creates a dictionary from the given well-known entries, in order of preference.
+     *
+     * @param version
+     *            of the dictionary, within 0-255.
+     * @param realms
+     *            well-known realms, at most 255.
+     * @param sectors
+     *            well-known sectors, as joined by {@link IdentifierBuilder#inSector(String...)}, at most 255.
+     * @param keys
+     *            well-known property keys, at most 255.
+     *
+     * @return a new dictionary.
+     */
+    public static IdentifierDictionary of(int version, Collection<String> realms, Collection<String> sectors,
+            Collection<String> keys) {
+        return new IdentifierDictionary(version, List.copyOf(realms), List.copyOf(sectors), List.copyOf(keys));
+    }
+
+    /**
+     * Trains a dictionary from a sample of identifiers, keeping the most frequent realms, sectors and property keys.
+     *
+     * @param version
+     *            of the dictionary, within 0-255.
+     * @param sample
+     *            of identifiers, representative for the values to compress.
+     *
+     * @return a new dictionary.
+     */
+    public static IdentifierDictionary train(int version, Collection<Identifier> sample) {
+
+        Map<String, Integer> realms = new LinkedHashMap<>();
+        Map<String, Integer> sectors = new LinkedHashMap<>();
+        Map<String, Integer> keys = new LinkedHashMap<>();
+
+        for (var identifier : sample) {
+
+            count(realms, identifier.realm());
+            count(sectors, identifier.path());
+
+            for (var key : identifier.properties().keySet()) {
+                count(keys, key);
+            }
+        }
+
+        return new IdentifierDictionary(version, mostFrequent(realms), mostFrequent(sectors), mostFrequent(keys));
+    }
+
+    private static void count(Map<String, Integer> counts, String entry) {
+        if (entry != null && !entry.isEmpty()) {
+            counts.merge(entry, 1, Integer::sum);
+        }
+    }
+
+    private static List<String> mostFrequent(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer> comparingByValue(Comparator.reverseOrder())).limit(MAX_ENTRIES)
+                .map(Map.Entry::getKey).toList();
+    }
+
+    /**
+     * Registers this dictionary, making its version resolvable by {@link Identifier#fromValue(String)}.
+     *
+     * @return this dictionary, for chaining.
+     *
+     * @throws IllegalStateException
+     *             if a different dictionary is already registered for the same version.
+     */
+    public IdentifierDictionary register() {
+
+        IdentifierDictionary existing = REGISTRY.compareAndExchange(version, null, this);
+
+        if (existing != null && !existing.equals(this)) {
+            throw new IllegalStateException("A different dictionary is registered for version %d".formatted(version));
+        }
+
+        return this;
+    }
+
+    static IdentifierDictionary forVersion(int version) {
+        return REGISTRY.get(version);
+    }
+
+    /**
+     * {@return The version of this dictionary.}
+     */
+    public int version() {
+        return version;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, realms, sectors, keys);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        IdentifierDictionary other = (IdentifierDictionary) obj;
+
+        return version == other.version && realms.equals(other.realms) && sectors.equals(other.sectors)
+                && keys.equals(other.keys);
+    }
+
+    int realms() {
+        return realms.size();
+    }
+
+    int sectors() {
+        return sectors.size();
+    }
+
+    int keys() {
+        return keys.size();
+    }
+
+    /**
+     * {@return The compressed value, or the plain value if the identifier does not fit the compressed layout.}
+     */
+    String compress(Identifier identifier) {
+
+        var properties = identifier.properties();
+
+        if (properties.isEmpty() || properties.size() > MAX_ENTRIES) {
+            return identifier.toValue();
+        }
+
+        var bytes = new Bytes();
+
+        bytes.write(MARKER);
+        bytes.write(version);
+
+        if (!token(bytes, realmCodes, identifier.realm()) || !token(bytes, sectorCodes, identifier.path())) {
+            return identifier.toValue();
+        }
+
+        bytes.write(properties.size());
+
+        for (var entry : properties.entrySet()) {
+            if (!token(bytes, keyCodes, entry.getKey()) || !literal(bytes, String.valueOf(entry.getValue()))) {
+                return identifier.toValue();
+            }
+        }
+
+        var result = new StringBuilder();
+        ZBase32.encode(bytes.buffer, 0, bytes.length, result);
+
+        return result.toString();
+    }
+
+    private static boolean token(Bytes bytes, Map<String, Integer> codes, String value) {
+
+        String text = value == null ? "" : value;
+        int code = codes.getOrDefault(text, 0);
+
+        bytes.write(code);
+
+        return code > 0 || literal(bytes, text);
+    }
+
+    private static boolean literal(Bytes bytes, String value) {
+
+        byte[] text = value.getBytes(StandardCharsets.UTF_8);
+
+        if (text.length > MAX_LITERAL) {
+            return false;
+        }
+
+        bytes.write(text.length);
+        bytes.write(text);
+
+        return true;
+    }
+
+    /**
+     * Decompresses the given decoded value, with one byte per character, that starts with the compression marker.
+     */
+    static Identifier decompress(String decoded) {
+
+        var bytes = new Reader(decoded.getBytes(StandardCharsets.ISO_8859_1), 1);
+        int version = bytes.next();
+
+        IdentifierDictionary dictionary = forVersion(version);
+
+        if (dictionary == null) {
+            throw new IllegalStateException("No dictionary registered for version %d".formatted(version));
+        }
+
+        String realm = dictionary.entry(bytes, dictionary.realms);
+        String path = dictionary.entry(bytes, dictionary.sectors);
+
+        int count = bytes.next();
+
+        if (count == 0) {
+            throw new UnbuildableIdentifierException();
+        }
+
+        Map<String, Object> properties = new LinkedHashMap<>(count);
+
+        for (int i = 0; i < count; i++) {
+            String key = dictionary.entry(bytes, dictionary.keys);
+            properties.put(key, Identifier.parseValue(bytes.literal()));
+        }
+
+        if (bytes.remaining() > 0) {
+            throw new IllegalStateException("Unexpected trailing bytes for dictionary version %d".formatted(version));
+        }
+
+        return new Identifier(realm.isEmpty() ? null : realm, path, properties);
+    }
+
+    private String entry(Reader bytes, List<String> entries) {
+
+        int code = bytes.next();
+
+        if (code == 0) {
+            return bytes.literal();
+        }
+
+        if (code > entries.size()) {
+            throw new IllegalStateException("Unknown code %d for dictionary version %d".formatted(code, version));
+        }
+
+        return entries.get(code - 1);
+    }
+
+    /**
+     * Reads bytes and literals from a compressed value.
+     */
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int at;
+
+        Reader(byte[] buffer, int at) {
+            this.buffer = buffer;
+            this.at = at;
+        }
+
+        int next() {
+
+            if (at >= buffer.length) {
+                throw truncated();
+            }
+
+            return buffer[at++] & 0xff;
+        }
+
+        String literal() {
+
+            int length = next();
+
+            if (length > remaining()) {
+                throw truncated();
+            }
+
+            String value = new String(buffer, at, length, StandardCharsets.UTF_8);
+
+            at += length;
+
+            return value;
+        }
+
+        int remaining() {
+            return buffer.length - at;
+        }
+
+        private IllegalStateException truncated() {
+            return new IllegalStateException(
+                    "Truncated compressed value, at byte %d of %d".formatted(at, buffer.length));
+        }
+    }
+
+    /**
+     * Growable byte buffer, for writing compressed values.
+     */
+    private static final class Bytes {
+
+        private byte[] buffer = new byte[64];
+        private int length;
+
+        void write(int b) {
+            ensure(1);
+            buffer[length++] = (byte) b;
+        }
+
+        void write(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, length, bytes.length);
+            length += bytes.length;
+        }
+
+        private void ensure(int more) {
+            if (length + more > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + more));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.studiomediatech.opaque;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.studiomediatech.utils.ZBase32;
+
+/**
+ * Mints sequential {@link Identifier identifiers} from a fixed template, built by an {@link IdentifierBuilder}, with a
+ * monotonically increasing sequence property appended last.
+ *
+ * <p>
+ * Sequence numbers are handed out to each thread in blocks, reserved lock-free from a shared counter, so that threads
+ * only contend once per block. Every minted sequence number is unique, and increasing for each thread, but threads do
+ * not mint in a globally increasing order. Minting beyond {@link Long#MAX_VALUE} throws {@link IllegalStateException}.
+ * Any node id should be part of the template, using {@link IdentifierBuilder#having(String, Number)}.
+ * </p>
+ *
+ * <p>
+ * The text of the template is encoded once, so that minting a value only encodes the few trailing bytes that vary.
+ * </p>
+ */
+public final class IdentifierMinter {
+
+    private static final int BLOCK = 1024;
+
+    private final String domain;
+    private final String path;
+    private final Map<String, Object> properties;
+    private final String key;
+
+    private final String encodedPrefix;
+    private final byte[] tail;
+
+    private final AtomicLong next;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    IdentifierMinter(IdentifierBuilder template, String key, long start) {
+
+        if (start < 0) {
+            throw new IllegalArgumentException("Sequence must start at a non-negative number, was %d".formatted(start));
+        }
+
+        this.domain = template.getDomain();
+        this.path = template.getPath();
+        this.properties = template.getParamsMap();
+        this.key = key;
+        this.next = new AtomicLong(start);
+
+        if (properties.containsKey(key)) {
+            throw new IllegalArgumentException("Template already has a property '%s'".formatted(key));
+        }
+
+        String text = template.having(key, 0).build().toText();
+        byte[] prefix = text.substring(0, text.length() - 1).getBytes();
+
+        // Every 5 bytes encode to 8 characters, so the aligned part of the prefix is encoded only once.
+        int aligned = prefix.length - prefix.length % 5;
+
+        var encoded = new StringBuilder();
+        ZBase32.encode(prefix, 0, aligned, encoded);
+
+        this.encodedPrefix = encoded.toString();
+        this.tail = Arrays.copyOfRange(prefix, aligned, prefix.length);
+    }
+
+    /**
+     * {@return The next minted identifier.}
+     */
+    public Identifier mint() {
+        return identifier(blocks.get().next());
+    }
+
+    /**
+     * {@return The string value representation of the next minted identifier, the same as for
+     * {@link Identifier#toValue()}.}
+     */
+    public String mintValue() {
+
+        Block block = blocks.get();
+
+        return value(block.next(), block.bytes);
+    }
+
+    /**
+     * Fills the given array with minted identifiers, reserving all the sequence numbers at once.
+     *
+     * @param identifiers
+     *            to fill.
+     *
+     * @return the given array, for chaining.
+     */
+    public Identifier[] mint(Identifier[] identifiers) {
+
+        long sequence = reserveAll(identifiers.length);
+
+        for (int i = 0; i < identifiers.length; i++) {
+            identifiers[i] = identifier(sequence + i);
+        }
+
+        return identifiers;
+    }
+
+    /**
+     * Fills the given array with the string value representations of minted identifiers, reserving all the sequence
+     * numbers at once.
+     *
+     * @param values
+     *            to fill.
+     *
+     * @return the given array, for chaining.
+     */
+    public String[] mintValues(String[] values) {
+
+        long sequence = reserveAll(values.length);
+        byte[] bytes = blocks.get().bytes;
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = value(sequence + i, bytes);
+        }
+
+        return values;
+    }
+
+    private long reserveAll(int count) {
+
+        long sequence = reserve(count);
+
+        if (count > 0 && sequence > Long.MAX_VALUE - (count - 1)) {
+            throw exhausted();
+        }
+
+        return sequence;
+    }
+
+    private long reserve(int count) {
+
+        long sequence = next.getAndAdd(count);
+
+        // The counter has wrapped, once a reservation went past the last sequence number.
+        if (sequence < 0) {
+            throw exhausted();
+        }
+
+        return sequence;
+    }
+
+    private static IllegalStateException exhausted() {
+        return new IllegalStateException("Sequence numbers are exhausted, beyond %d".formatted(Long.MAX_VALUE));
+    }
+
+    private Identifier identifier(long sequence) {
+
+        Map<String, Object> map = new LinkedHashMap<>(properties);
+
+        // Same numeric type as when parsed, so minted identifiers are equal to their parsed values.
+        if (sequence <= Integer.MAX_VALUE) {
+            map.put(key, Integer.valueOf((int) sequence));
+        } else {
+            map.put(key, Long.valueOf(sequence));
+        }
+
+        return new Identifier(domain, path, map);
+    }
+
+    private String value(long sequence, byte[] bytes) {
+
+        int length = tail.length + digits(sequence, bytes, tail.length);
+
+        var result = new StringBuilder(encodedPrefix.length() + length * 8 / 5 + 1);
+        result.append(encodedPrefix);
+        ZBase32.encode(bytes, 0, length, result);
+
+        return result.toString();
+    }
+
+    private static int digits(long sequence, byte[] bytes, int offset) {
+
+        int count = 1;
+
+        for (long n = sequence / 10; n > 0; n /= 10) {
+            count++;
+        }
+
+        long n = sequence;
+
+        for (int i = offset + count - 1; i >= offset; i--) {
+            bytes[i] = (byte) ('0' + n % 10);
+            n /= 10;
+        }
+
+        return count;
+    }
+
+    /**
+     * A block of sequence numbers, reserved by a single thread, with a scratch buffer for encoding.
+     */
+    private final class Block {
+
+        // Long values have at most 19 digits.
+        private final byte[] bytes = Arrays.copyOf(tail, tail.length + 19);
+
+        private long cursor;
+        private int remaining;
+
+        long next() {
+
+            if (remaining == 0) {
+                cursor = reserve(BLOCK);
+                remaining = BLOCK;
+            }
+
+            // The last block may be cut short by the end of the sequence range.
+            if (cursor < 0) {
+                throw exhausted();
+            }
+
+            remaining--;
+
+            return cursor++;
+        }
+    }
+
+}
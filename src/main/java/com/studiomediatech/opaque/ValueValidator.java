@@ -0,0 +1,244 @@
+package com.studiomediatech.opaque;
+
+import com.studiomediatech.utils.ZBase32;
+
+/**
+ * Allocation-free validation of encoded identifier values, checking the alphabet, length and the structure of the
+ * decoded text representation, or compressed layout, without building any intermediate strings, URIs or exceptions.
+ */
+final class ValueValidator {
+
+    private static final String UNRESERVED = "-_.!~*'()";
+    private static final String AUTHORITY = UNRESERVED + "$,;:@&=+";
+    private static final String PATH = UNRESERVED + ":@&=+$,;/";
+    private static final String QUERY = UNRESERVED + ";/?:@&=+$,[]";
+
+    private ValueValidator() {
+        // Hidden
+    }
+
+    /**
+     * {@return {@code true} if the given value can be parsed as an identifier, otherwise {@code false}.}
+     *
+     * @param value
+     *            to validate.
+     */
+    static boolean isValid(CharSequence value) {
+        return value != null && isValid(value, value.length());
+    }
+
+    /**
+     * {@return {@code true} if the given value, with a checksum suffix, can be parsed as an identifier, otherwise
+     * {@code false}.}
+     *
+     * @param value
+     *            to validate.
+     */
+    static boolean isValidChecked(CharSequence value) {
+        return value != null && ZBase32.hasValidChecksum(value)
+                && isValid(value, value.length() - ZBase32.CHECKSUM_LENGTH);
+    }
+
+    private static boolean isValid(CharSequence value, int encodedLength) {
+
+        if (!ZBase32.isValid(value, encodedLength)) {
+            return false;
+        }
+
+        int length = ZBase32.decodedLength(encodedLength);
+
+        if (length > 0 && ZBase32.decodedAt(value, 0) == IdentifierDictionary.MARKER) {
+            return isCompressed(value, length);
+        }
+
+        if (length == 0 || ZBase32.decodedAt(value, 0) != '/') {
+            return false;
+        }
+
+        int i = 1;
+
+        if (i < length && ZBase32.decodedAt(value, i) == '/') {
+
+            i = skip(value, i + 1, length, AUTHORITY, '/', '?');
+
+            if (i < 0 || i == length || ZBase32.decodedAt(value, i) != '/') {
+                return false;
+            }
+
+            i++;
+        }
+
+        i = skip(value, i, length, PATH, '?', '?');
+
+        if (i < 0 || i == length) {
+            return false;
+        }
+
+        return isQuery(value, i + 1, length);
+    }
+
+    private static boolean isCompressed(CharSequence value, int length) {
+
+        if (length < 2) {
+            return false;
+        }
+
+        IdentifierDictionary dictionary = IdentifierDictionary.forVersion(ZBase32.decodedAt(value, 1));
+
+        if (dictionary == null) {
+            return false;
+        }
+
+        int i = token(value, 2, length, dictionary.realms());
+        i = token(value, i, length, dictionary.sectors());
+
+        if (i < 0 || i >= length) {
+            return false;
+        }
+
+        int count = ZBase32.decodedAt(value, i++);
+
+        if (count == 0) {
+            return false;
+        }
+
+        for (int p = 0; p < count; p++) {
+            i = literal(value, token(value, i, length, dictionary.keys()), length);
+        }
+
+        return i == length;
+    }
+
+    private static int token(CharSequence value, int from, int length, int entries) {
+
+        if (from < 0 || from >= length) {
+            return -1;
+        }
+
+        int code = ZBase32.decodedAt(value, from);
+
+        if (code == 0) {
+            return literal(value, from + 1, length);
+        }
+
+        return code <= entries ? from + 1 : -1;
+    }
+
+    private static int literal(CharSequence value, int from, int length) {
+
+        if (from < 0 || from >= length) {
+            return -1;
+        }
+
+        int end = from + 1 + ZBase32.decodedAt(value, from);
+
+        return end <= length ? end : -1;
+    }
+
+    private static int skip(CharSequence value, int from, int length, String legal, int stop, int alsoStop) {
+
+        int i = from;
+
+        while (i < length) {
+
+            int c = ZBase32.decodedAt(value, i);
+
+            if (c == stop || c == alsoStop) {
+                return i;
+            }
+
+            if (c == '%') {
+                if (!isEscape(value, i, length)) {
+                    return -1;
+                }
+                i += 3;
+            } else if (isLegal(c, legal)) {
+                i++;
+            } else {
+                return -1;
+            }
+        }
+
+        return i;
+    }
+
+    private static boolean isQuery(CharSequence value, int from, int length) {
+
+        boolean empty = true;
+        boolean assigned = false;
+        boolean valued = false;
+        boolean trailing = false;
+        boolean parsed = false;
+
+        int i = from;
+
+        while (i < length) {
+
+            int c = ZBase32.decodedAt(value, i);
+
+            if (c == '%') {
+                if (!isEscape(value, i, length)) {
+                    return false;
+                }
+                c = hex(ZBase32.decodedAt(value, i + 1)) << 4 | hex(ZBase32.decodedAt(value, i + 2));
+                i += 3;
+            } else if (isLegal(c, QUERY)) {
+                i++;
+            } else {
+                return false;
+            }
+
+            // Every property must have a non-empty value, and only trailing delimiters may be left empty.
+            if (c == '&') {
+                if (empty) {
+                    trailing = true;
+                } else if (!valued) {
+                    return false;
+                } else {
+                    parsed = true;
+                }
+                empty = true;
+                assigned = false;
+                valued = false;
+            } else if (trailing) {
+                return false;
+            } else {
+                empty = false;
+                if (c == '=') {
+                    assigned = true;
+                } else if (assigned) {
+                    valued = true;
+                }
+            }
+        }
+
+        return empty ? parsed : valued;
+    }
+
+    private static boolean isEscape(CharSequence value, int i, int length) {
+        return i + 2 < length && hex(ZBase32.decodedAt(value, i + 1)) >= 0 && hex(ZBase32.decodedAt(value, i + 2)) >= 0;
+    }
+
+    private static int hex(int c) {
+
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+
+        return -1;
+    }
+
+    private static boolean isLegal(int c, String legal) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || legal.indexOf(c) >= 0
+                || c > 0xa0;
+    }
+
+}
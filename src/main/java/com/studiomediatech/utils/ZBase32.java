@@ -1,5 +1,7 @@
 package com.studiomediatech.utils;
 
+import java.util.Arrays;
+
 /**
  *
  * Human-oriented base-32 encoding implementation for Java.
@@ -45,6 +47,29 @@ public class ZBase32 {
 
     private static final char[] ALPHABET = "ybndrfg8ejkmcpqxot1uwisza345h769".toCharArray();
     private static final int BITWIDTH = 5;
+    private static final byte[] INDEX = new byte[128];
+    private static final int[] CRC32C = new int[256];
+
+    /**
+     * Number of characters appended by {@link #encodeWithChecksum(String)}, carrying 20 bits of checksum.
+     */
+    public static final int CHECKSUM_LENGTH = 4;
+
+    static {
+        Arrays.fill(INDEX, (byte) -1);
+
+        for (int i = 0; i < ALPHABET.length; i++) {
+            INDEX[ALPHABET[i]] = (byte) i;
+        }
+
+        for (int i = 0; i < CRC32C.length; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc >>> 1) ^ ((crc & 1) * 0x82f63b78);
+            }
+            CRC32C[i] = crc;
+        }
+    }
 
     private ZBase32() {
         // Hidden
@@ -59,14 +84,35 @@ public class ZBase32 {
     public static String encode(String value) {
 
         byte[] input = value.getBytes();
-        var result = new StringBuilder();
+        var result = new StringBuilder((input.length * 8 + BITWIDTH - 1) / BITWIDTH);
+
+        encode(input, 0, input.length, result);
+
+        return result.toString();
+    }
+
+    /**
+     * Encodes a range of bytes, appending the z-base32 characters to the given result. Since every 5 bytes encode to
+     * exactly 8 characters, a range starting at a multiple of 5 bytes continues the encoding of the preceding bytes, so
+     * that a fixed, already encoded, prefix may be reused.
+     *
+     * @param input
+     *            bytes to encode.
+     * @param offset
+     *            of the first byte to encode.
+     * @param length
+     *            number of bytes to encode.
+     * @param result
+     *            to append the encoded characters to.
+     */
+    public static void encode(byte[] input, int offset, int length, StringBuilder result) {
 
         int shift = 3;
         int carry = 0;
 
-        for (int i = 0; i < input.length; i++) {
+        for (int i = offset; i < offset + length; i++) {
 
-            byte b = input[i];
+            int b = input[i] & 0xff;
             int index = carry | (b >> shift);
             result.append(ALPHABET[index & 0x1f]);
 
@@ -84,10 +130,92 @@ public class ZBase32 {
         if (shift != 3) {
             result.append(ALPHABET[carry & 0x1f]);
         }
+    }
+
+    /**
+     * {@return The z-base32 encoded string for the given string value, with a checksum suffix of
+     * {@value #CHECKSUM_LENGTH} characters, that can be verified using {@link #hasValidChecksum(CharSequence)}.}
+     *
+     * @param value
+     *            to encode.
+     */
+    public static String encodeWithChecksum(String value) {
+
+        byte[] input = value.getBytes();
+        var result = new StringBuilder((input.length * 8 + BITWIDTH - 1) / BITWIDTH + CHECKSUM_LENGTH);
+
+        encode(input, 0, input.length, result);
+
+        int checksum = checksum(result, result.length());
+
+        for (int i = CHECKSUM_LENGTH - 1; i >= 0; i--) {
+            result.append(ALPHABET[(checksum >>> (i * BITWIDTH)) & 0x1f]);
+        }
 
         return result.toString();
     }
 
+    /**
+     * Verifies, in a single pass and without allocating, the checksum suffix of a value encoded by
+     * {@link #encodeWithChecksum(String)}.
+     *
+     * @param value
+     *            to verify.
+     *
+     * @return {@code true} if the checksum matches the value, otherwise {@code false}.
+     */
+    public static boolean hasValidChecksum(CharSequence value) {
+
+        int length = value.length() - CHECKSUM_LENGTH;
+
+        if (length < 0) {
+            return false;
+        }
+
+        int checksum = checksum(value, length);
+
+        for (int i = 0; i < CHECKSUM_LENGTH; i++) {
+
+            int index = indexOf(value.charAt(length + i));
+
+            if (index != ((checksum >>> ((CHECKSUM_LENGTH - 1 - i) * BITWIDTH)) & 0x1f)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@return The decoded string from the given value, encoded with a checksum suffix.}
+     *
+     * @param value
+     *            to verify and decode.
+     *
+     * @throws IllegalStateException
+     *             if the checksum does not match the value.
+     */
+    public static String decodeWithChecksum(String value) {
+
+        if (!hasValidChecksum(value)) {
+            throw new IllegalStateException("Invalid checksum for value '%s'".formatted(value));
+        }
+
+        return decode(value.substring(0, value.length() - CHECKSUM_LENGTH));
+    }
+
+    // CRC-32C of the encoded characters, so that it can be verified before anything is decoded.
+    private static int checksum(CharSequence value, int length) {
+
+        int crc = 0xffffffff;
+
+        for (int i = 0; i < length; i++) {
+            crc = (crc >>> 8) ^ CRC32C[(crc ^ value.charAt(i)) & 0xff];
+        }
+
+        return ~crc;
+    }
+
     /**
      * {@return The decoded string from the given string value. }
      *
@@ -124,14 +252,113 @@ public class ZBase32 {
         return result.toString();
     }
 
-    private static int scanTo(char codePoint, int index) {
+    /**
+     * {@return The alphabet index of the given code point, or {@code -1} if it is not part of the alphabet.}
+     *
+     * @param codePoint
+     *            to look up.
+     */
+    public static int indexOf(char codePoint) {
+        return codePoint < INDEX.length ? INDEX[codePoint] : -1;
+    }
 
-        for (int i = 0; i < ALPHABET.length; i++) {
-            if (ALPHABET[i] == codePoint) {
-                return i;
+    /**
+     * Checks, without allocating, that the given value could have been produced by {@link #encode(String)}: every
+     * character is part of the alphabet, the length is one an encoder emits and any trailing padding bits are zero.
+     *
+     * @param value
+     *            to check.
+     *
+     * @return {@code true} if the value is a well-formed z-base32 string, otherwise {@code false}.
+     */
+    public static boolean isValid(CharSequence value) {
+        return isValid(value, value.length());
+    }
+
+    /**
+     * Checks, as in {@link #isValid(CharSequence)}, the leading characters of the given value, ignoring any following
+     * suffix.
+     *
+     * @param value
+     *            to check.
+     * @param length
+     *            of the leading characters to check, at most the length of the value.
+     *
+     * @return {@code true} if the leading characters are a well-formed z-base32 string, otherwise {@code false}.
+     */
+    public static boolean isValid(CharSequence value, int length) {
+
+        for (int i = 0; i < length; i++) {
+            if (indexOf(value.charAt(i)) < 0) {
+                return false;
             }
         }
 
+        int padding = (length * BITWIDTH) % 8;
+
+        if (padding >= BITWIDTH) {
+            return false;
+        }
+
+        return length == 0 || (indexOf(value.charAt(length - 1)) & ((1 << padding) - 1)) == 0;
+    }
+
+    /**
+     * {@return The number of bytes the given encoded value decodes to.}
+     *
+     * @param value
+     *            encoded value.
+     */
+    public static int decodedLength(CharSequence value) {
+        return decodedLength(value.length());
+    }
+
+    /**
+     * {@return The number of bytes the given number of encoded characters decode to.}
+     *
+     * @param length
+     *            of the encoded value.
+     */
+    public static int decodedLength(int length) {
+        return length * BITWIDTH / 8;
+    }
+
+    /**
+     * Decodes a single byte, at the given byte offset, directly from the encoded value. Intended for allocation-free
+     * inspection of values that have already passed {@link #isValid(CharSequence)}.
+     *
+     * @param value
+     *            a valid encoded value.
+     * @param index
+     *            of the decoded byte, less than {@link #decodedLength(CharSequence)}.
+     *
+     * @return the decoded byte, as an unsigned value.
+     */
+    public static int decodedAt(CharSequence value, int index) {
+
+        int position = index * 8;
+        int offset = position % BITWIDTH;
+        int at = position / BITWIDTH;
+
+        int bits = 0;
+        int carry = 0;
+
+        while (bits - offset < 8) {
+            carry = (carry << BITWIDTH) | indexOf(value.charAt(at++));
+            bits += BITWIDTH;
+        }
+
+        return (carry >> (bits - offset - 8)) & 0xff;
+    }
+
+    private static int scanTo(char codePoint, int index) {
+
+        int i = indexOf(codePoint);
+
+        if (i >= 0) {
+            return i;
+        }
+
         throw new IllegalStateException("Unexpected code point '%s' at index %d".formatted(codePoint, index));
     }
 }
@@ -0,0 +1,56 @@
+package com.studiomediatech.opaque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IdentifierDictionaryTest {
+
+    private Identifier id;
+
+    @BeforeEach
+    void fixture() {
+        id = IdentifierTest.sample();
+    }
+
+    @Test
+    void dictionary_is_trained_from_sample() throws Exception {
+
+        Identifier other = Identifier.inRealm("example.net").inSector("scale", "compute").having("room", 1).build();
+
+        IdentifierDictionary trained = IdentifierDictionary.train(3, List.of(id, other, id));
+
+        assertThat(trained).isEqualTo(IdentifierDictionary.of(3, List.of("tropian.io", "example.net"),
+                List.of("scale/compute"), List.of("room", "dc", "isle", "rack")));
+    }
+
+    @Test
+    void identifier_with_long_literal_is_not_compressed() throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary.of(6, List.of(), List.of(), List.of()).register();
+        Identifier other = Identifier.inRealm("tropian.io").having("note", "x".repeat(256)).build();
+
+        assertThat(other.toCompressedValue(dictionary)).isEqualTo(other.toValue());
+    }
+
+    @Test
+    void cannot_register_different_dictionary_for_same_version() throws Exception {
+
+        IdentifierDictionary.of(7, List.of("tropian.io"), List.of(), List.of()).register();
+        IdentifierDictionary.of(7, List.of("tropian.io"), List.of(), List.of()).register();
+
+        assertThrows(IllegalStateException.class,
+                () -> IdentifierDictionary.of(7, List.of("example.net"), List.of(), List.of()).register());
+    }
+
+    @Test
+    void cannot_create_dictionary_for_invalid_version() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> IdentifierDictionary.of(256, List.of(), List.of(), List.of()));
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.studiomediatech.opaque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class IdentifierMinterTest {
+
+    private IdentifierBuilder template;
+
+    @BeforeEach
+    void fixture() {
+        template = Identifier.inRealm("tropian.io").inSector("scale", "compute").having("node", 7);
+    }
+
+    @Test
+    void mints_sequential_identifiers() throws Exception {
+
+        IdentifierMinter minter = template.minter("seq");
+
+        assertThat(minter.mint()).isEqualTo(template.having("seq", 0).build());
+        assertThat(minter.mint()).isEqualTo(template.having("seq", 1).build());
+        assertThat(minter.mint().getNumber("node")).isEqualTo(7);
+    }
+
+    @Test
+    void mints_values_equal_to_built_identifiers() throws Exception {
+
+        IdentifierMinter minter = template.minter("seq", 99_995L);
+
+        for (long seq = 99_995L; seq < 100_005L; seq++) {
+            String value = minter.mintValue();
+
+            assertThat(value).isEqualTo(template.having("seq", seq).build().toValue());
+            assertThat(Identifier.fromValue(value).getNumber("seq").longValue()).isEqualTo(seq);
+        }
+    }
+
+    @Test
+    void mints_large_sequence_numbers() throws Exception {
+
+        String value = template.minter("seq", Long.MAX_VALUE - 1).mintValue();
+        Identifier id = template.minter("seq", Long.MAX_VALUE - 1).mint();
+
+        assertThat(value).isEqualTo(template.having("seq", Long.MAX_VALUE - 1).build().toValue());
+        assertThat(Identifier.fromValue(value)).isEqualTo(id);
+    }
+
+    @Test
+    void cannot_mint_beyond_last_sequence_number() throws Exception {
+
+        IdentifierMinter minter = template.minter("seq", Long.MAX_VALUE);
+
+        assertThat(minter.mintValue()).isEqualTo(template.having("seq", Long.MAX_VALUE).build().toValue());
+        assertThrows(IllegalStateException.class, () -> minter.mintValue());
+        assertThrows(IllegalStateException.class, () -> minter.mint());
+        assertThrows(IllegalStateException.class, () -> minter.mintValues(new String[1]));
+    }
+
+    @Test
+    void cannot_mint_bulk_beyond_last_sequence_number() throws Exception {
+
+        IdentifierMinter minter = template.minter("seq", Long.MAX_VALUE - 1);
+
+        assertThrows(IllegalStateException.class, () -> minter.mint(new Identifier[3]));
+        assertThat(template.minter("seq", Long.MAX_VALUE - 1).mintValues(new String[2])).containsExactly(
+                template.having("seq", Long.MAX_VALUE - 1).build().toValue(),
+                template.having("seq", Long.MAX_VALUE).build().toValue());
+    }
+
+    @Test
+    void mints_in_bulk() throws Exception {
+
+        IdentifierMinter minter = template.minter("seq");
+
+        Identifier[] ids = minter.mint(new Identifier[3]);
+        String[] values = minter.mintValues(new String[3]);
+
+        assertThat(ids).containsExactly(template.having("seq", 0).build(), template.having("seq", 1).build(),
+                template.having("seq", 2).build());
+        assertThat(values).containsExactly(template.having("seq", 3).build().toValue(),
+                template.having("seq", 4).build().toValue(), template.having("seq", 5).build().toValue());
+    }
+
+    @Test
+    void mints_unique_values_across_threads() throws Exception {
+
+        IdentifierMinter minter = template.minter("seq");
+        Set<String> values = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    values.add(minter.mintValue());
+                }
+            });
+        }
+
+        executor.shutdown();
+
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(values).hasSize(20000);
+    }
+
+    @Test
+    void cannot_mint_with_existing_sequence_property() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> template.minter("node"));
+    }
+
+    @Test
+    void cannot_mint_from_negative_sequence() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> template.minter("seq", -1));
+    }
+
+}
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.util.Base64;
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import com.studiomediatech.utils.ZBase32;
 
@@ -20,9 +23,13 @@ public class IdentifierTest {
 
     @BeforeEach
     void fixture() {
+        id = sample();
+    }
+
+    static Identifier sample() {
 
         // @formatter:off
-		id = Identifier.inRealm("tropian.io")
+		return Identifier.inRealm("tropian.io")
 				   .inSector("scale", "compute")
 				   .having("dc", "west1")
 				   .having("room", 442)
@@ -178,4 +185,181 @@ public class IdentifierTest {
         assertThat(parsedId.getString("isle")).isEqualTo("E");
         assertThat(parsedId.get("rack")).isEqualTo("E5");
     }
+
+    @Test
+    void scalar_value_is_valid() throws Exception {
+        assertThat(Identifier.isValid(id.toValue())).isTrue();
+        assertThat(Identifier.isValid(Identifier.inSector("path").having("k", 1).build().toValue())).isTrue();
+    }
+
+    static Stream<String> invalidValues() {
+        return Stream.of("", "y",
+                "fhzzehuxqbwsn5tqpfz16h5dcfsgkm5dp7szy7mwcw9sea37q71zg7btr33g655p8w4dectgpf3sa3j7ewu8ramdpcl",
+                "fhzzehuxqbwsn5tqpfz16h5dcfsgkm5dp7szy7mwcw9sea37q71zg7btr33g655p8w4dectgpf3sa3j7ewu8ramdpc6wkp",
+                ZBase32.encode("//tropian.io/scale"), ZBase32.encode("//tropian.io?dc=west1"),
+                ZBase32.encode("/scale?dc="), ZBase32.encode("/scale?dc=west1&&room=442"),
+                ZBase32.encode("/scale?dc=%zz"), ZBase32.encode("/sc ale?dc=west1"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("invalidValues")
+    void malformed_scalar_value_is_not_valid(String value) throws Exception {
+
+        assertThat(Identifier.isValid(value)).isFalse();
+        assertThat(Identifier.tryParse(value)).isEmpty();
+    }
+
+    @Test
+    void null_is_not_valid() throws Exception {
+        assertThat(Identifier.isValid(null)).isFalse();
+        assertThat(Identifier.tryParse(null)).isEmpty();
+    }
+
+    @Test
+    void valid_scalar_value_is_parsed() throws Exception {
+        assertThat(Identifier.tryParse(id.toValue())).contains(id);
+    }
+
+    @Test
+    void checked_scalar_value_is_parsed() throws Exception {
+
+        String value = id.toCheckedValue();
+
+        assertThat(value).startsWith(id.toValue());
+        assertThat(Identifier.isValidChecked(value)).isTrue();
+        assertThat(Identifier.isValid(value)).isFalse();
+        assertThat(Identifier.fromCheckedValue(value)).isEqualTo(id);
+    }
+
+    @Test
+    void corrupted_checked_scalar_value_is_not_valid() throws Exception {
+
+        String value = id.toCheckedValue();
+        String corrupted = value.substring(0, 10) + "y" + value.substring(11);
+
+        assertThat(Identifier.isValidChecked(value.substring(0, value.length() - 2))).isFalse();
+        assertThat(Identifier.isValidChecked(corrupted)).isFalse();
+        assertThat(Identifier.isValidChecked(id.toValue())).isFalse();
+        assertThat(Identifier.isValidChecked(null)).isFalse();
+
+        assertThrows(IllegalStateException.class, () -> Identifier.fromCheckedValue(corrupted));
+    }
+
+    @Test
+    void compressed_value_is_shorter_and_parsed() throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary
+                .of(1, List.of("tropian.io"), List.of("scale/compute"), List.of("dc", "room", "isle", "rack"))
+                .register();
+
+        String value = id.toCompressedValue(dictionary);
+
+        assertThat(value.length()).isLessThan(id.toValue().length() / 2);
+        assertThat(Identifier.isValid(value)).isTrue();
+        assertThat(Identifier.fromValue(value)).isEqualTo(id);
+        assertThat(Identifier.tryParse(value)).contains(id);
+    }
+
+    @Test
+    void compressed_value_has_literals_for_unknown_entries() throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary.of(2, List.of(), List.of(), List.of("dc")).register();
+
+        Identifier other = Identifier.inSector("some/path").having("dc", "west1").having("room", 442L).build();
+        String value = other.toCompressedValue(dictionary);
+
+        assertThat(Identifier.isValid(value)).isTrue();
+        assertThat(Identifier.fromValue(value)).isEqualTo(Identifier.fromValue(other.toValue()));
+    }
+
+    @Test
+    void compressed_value_is_parsed_for_high_version() throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary
+                .of(200, List.of("tropian.io"), List.of("scale/compute"), List.of("dc", "room", "isle", "rack"))
+                .register();
+
+        String value = id.toCompressedValue(dictionary);
+
+        assertThat(Identifier.isValid(value)).isTrue();
+        assertThat(Identifier.fromValue(value)).isEqualTo(id);
+    }
+
+    @Test
+    void compressed_value_is_parsed_for_high_code() throws Exception {
+
+        List<String> keys = IntStream.range(0, 255).mapToObj(i -> "key" + i).toList();
+        IdentifierDictionary dictionary = IdentifierDictionary.of(8, List.of(), List.of(), keys).register();
+
+        Identifier other = Identifier.inRealm("tropian.io").having("key150", "a").having("key254", 1).build();
+        String value = other.toCompressedValue(dictionary);
+
+        assertThat(Identifier.isValid(value)).isTrue();
+        assertThat(Identifier.fromValue(value)).isEqualTo(other);
+    }
+
+    @Test
+    void compressed_value_is_parsed_for_non_ascii_literal() throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary.of(9, List.of(), List.of(), List.of()).register();
+
+        Identifier other = Identifier.inRealm("tropian.io").having("city", "Malmö").build();
+        String value = other.toCompressedValue(dictionary);
+
+        assertThat(Identifier.isValid(value)).isTrue();
+        assertThat(Identifier.fromValue(value).getString("city")).isEqualTo("Malmö");
+    }
+
+    static Stream<Integer> literalLengths() {
+        return Stream.of(0, 1, 126, 127, 128, 129, 130, 254, 255);
+    }
+
+    @ParameterizedTest
+    @MethodSource("literalLengths")
+    void compressed_value_is_parsed_for_literal_length(int length) throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary.of(10, List.of(), List.of(), List.of()).register();
+
+        Identifier other = Identifier.inRealm("x".repeat(length)).inSector("y".repeat(length))
+                .having("z".repeat(length), "v".repeat(length)).build();
+        String value = other.toCompressedValue(dictionary);
+
+        Identifier parsed = Identifier.fromValue(value);
+
+        assertThat(Identifier.isValid(value)).isTrue();
+        assertThat(parsed.realm()).isEqualTo(length == 0 ? null : other.realm());
+        assertThat(parsed.sectors()).isEqualTo(other.sectors());
+        assertThat(parsed.getString("z".repeat(length))).isEqualTo("v".repeat(length));
+    }
+
+    @Test
+    void compressed_value_is_not_parsed_for_unregistered_version() throws Exception {
+
+        String value = id.toCompressedValue(IdentifierDictionary.of(4, List.of("tropian.io"), List.of(), List.of()));
+
+        assertThat(Identifier.isValid(value)).isFalse();
+        assertThrows(IllegalStateException.class, () -> Identifier.fromValue(value));
+    }
+
+    @Test
+    void truncated_compressed_value_is_not_valid() throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary.of(5, List.of("tropian.io"), List.of(), List.of())
+                .register();
+
+        String value = id.toCompressedValue(dictionary);
+
+        assertThat(Identifier.isValid(value.substring(0, value.length() - 8))).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 2, 8, 16, 24 })
+    void truncated_compressed_value_is_not_parsed(int cut) throws Exception {
+
+        IdentifierDictionary dictionary = IdentifierDictionary.of(11, List.of(), List.of(), List.of()).register();
+
+        String value = id.toCompressedValue(dictionary);
+
+        assertThrows(IllegalStateException.class, () -> Identifier.fromValue(value.substring(0, value.length() - cut)));
+    }
 }
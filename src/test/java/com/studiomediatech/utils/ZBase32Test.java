@@ -1,6 +1,9 @@
 package com.studiomediatech.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.zip.CRC32C;
 
 import org.junit.jupiter.api.Test;
 
@@ -20,4 +23,86 @@ class ZBase32Test {
         assertThat(result).isEqualTo("The quick brown fox jumps over the lazy dog.");
     }
 
+    @Test
+    void ensureValidatesAlphabetAndLength() throws Exception {
+
+        assertThat(ZBase32.isValid("ktwgkedtqiwsg43ycj3g675qrbug66bypj4s4hdurbzzc3m1rb4go3jyptozw6jyctzsqmo")).isTrue();
+        assertThat(ZBase32.isValid("")).isTrue();
+
+        assertThat(ZBase32.isValid("ktwgkedtqiwsg43ycj3g675qrbug66bypj4s4hdurbzzc3m1rb4go3jyptozw6jyctzsqmO"))
+                .isFalse();
+        assertThat(ZBase32.isValid("ktwgkedtqiwsg43ycj3g675qrbug66bypj4s4hdurbzzc3m1rb4go3jyptozw6jyctzsqm")).isFalse();
+        assertThat(ZBase32.isValid("ktwgkedtqiwsg43ycj3g675qrbug66bypj4s4hdurbzzc3m1rb4go3jyptozw6jyctzsqmq"))
+                .isFalse();
+    }
+
+    @Test
+    void ensureDecodesSingleBytes() throws Exception {
+
+        String value = "ktwgkedtqiwsg43ycj3g675qrbug66bypj4s4hdurbzzc3m1rb4go3jyptozw6jyctzsqmo";
+        String expected = "The quick brown fox jumps over the lazy dog.";
+
+        assertThat(ZBase32.decodedLength(value)).isEqualTo(expected.length());
+
+        for (int i = 0; i < expected.length(); i++) {
+            assertThat(ZBase32.decodedAt(value, i)).isEqualTo(expected.charAt(i));
+        }
+    }
+
+    @Test
+    void ensureEncodesWithChecksum() throws Exception {
+
+        String result = ZBase32.encodeWithChecksum("The quick brown fox jumps over the lazy dog.");
+
+        assertThat(result).startsWith(ZBase32.encode("The quick brown fox jumps over the lazy dog.")).hasSize(
+                ZBase32.encode("The quick brown fox jumps over the lazy dog.").length() + ZBase32.CHECKSUM_LENGTH);
+        assertThat(ZBase32.hasValidChecksum(result)).isTrue();
+        assertThat(ZBase32.decodeWithChecksum(result)).isEqualTo("The quick brown fox jumps over the lazy dog.");
+    }
+
+    @Test
+    void ensureChecksumIsCrc32c() throws Exception {
+
+        String value = "ktwgkedtqiwsg43ycj3g675qrbug66bypj4s4hdurbzzc3m1rb4go3jyptozw6jyctzsqmo";
+
+        var crc = new CRC32C();
+        crc.update(value.getBytes());
+
+        long expected = crc.getValue() & 0xfffff;
+        long actual = 0;
+
+        String checksum = ZBase32.encodeWithChecksum("The quick brown fox jumps over the lazy dog.")
+                .substring(value.length());
+
+        for (char c : checksum.toCharArray()) {
+            actual = (actual << 5) | ZBase32.indexOf(c);
+        }
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void ensureDetectsCorruptedChecksum() throws Exception {
+
+        String result = ZBase32.encodeWithChecksum("The quick brown fox jumps over the lazy dog.");
+
+        assertThat(ZBase32.hasValidChecksum(result.substring(0, result.length() - 1))).isFalse();
+        assertThat(ZBase32.hasValidChecksum(result.substring(1))).isFalse();
+        assertThat(ZBase32.hasValidChecksum(result.replace('k', 'm'))).isFalse();
+        assertThat(ZBase32.hasValidChecksum("")).isFalse();
+
+        assertThrows(IllegalStateException.class, () -> ZBase32.decodeWithChecksum(result.replace('k', 'm')));
+    }
+
+    @Test
+    void ensureEncodesBytesAboveAscii() throws Exception {
+
+        byte[] input = { 0x7e, (byte) 0xc8, 0x01, (byte) 0x80, (byte) 0xff };
+
+        var result = new StringBuilder();
+        ZBase32.encode(input, 0, input.length, result);
+
+        assertThat(ZBase32.decode(result.toString())).isEqualTo("\u007e\u00c8\u0001\u0080\u00ff");
+    }
+
 }